@@ -1,5 +1,6 @@
 import java.io.FileNotFoundException;
 import java.util.*;
+import java.util.concurrent.*;
 
 public class LRParser {
 
@@ -67,6 +68,42 @@ public class LRParser {
         }
     }
 
+    //Ambiguity: TreeNode label used by parseGLR() when a nonterminal has more than one derivation over the same input
+    //the children of such a node are the alternative derivations, each a TreeNode labeled with the nonterminal itself
+    public record Ambiguity(Object nonterminal){
+        public String toString(){
+            return nonterminal + " (ambiguous)";
+        }
+    }
+
+    //GLR helper records:
+    //GSSNode: a node of the graph-structured stack, one per LR state per input position
+    //links point down to the nodes below it (a plain LR stack is a GSS where every node has one link)
+    private record GSSNode(int state, ArrayList<GSSLink> links){
+        GSSNode(int state){
+            this(state, new ArrayList<>());
+        }
+        GSSLink linkTo(GSSNode below){
+            for(GSSLink l : links){
+                if(l.below == below) return l;
+            }
+            return null;
+        }
+    }
+    //GSSLink: an edge of the graph-structured stack, labeled with the grammar symbol's tree (Lexeme or PackedNode)
+    private record GSSLink(GSSNode below, Object tree){}
+    //PackedNode: a shared packed parse forest node, every derivation (children array) of one nonterminal over one span
+    //subtrees are shared between derivations by reference, new derivations get packed into alternatives
+    private record PackedNode(Object data, ArrayList<Object[]> alternatives){
+        PackedNode(Object data, Object[] children){
+            this(data, new ArrayList<>());
+            alternatives.add(children);
+        }
+    }
+    //Reduction: a pending reduce action in the GLR mode
+    //first == null reduces along every path down from node, otherwise only along paths starting with that link
+    private record Reduction(GSSNode node, GSSLink first, Rule rule){}
+
     //NONTERMINAL: every nonterminal defined in the grammar
     enum NONTERMINAL{
         EXPR,
@@ -83,6 +120,7 @@ public class LRParser {
     //the LR Parsing table, stored as two enums of table columns
     //each of these has a lookup() function, which takes a TOKEN and returns the correct column
     //empty table elements are left as null values
+    //a cell with a conflict lists each action separated by '|' (e.g. "s6|r2"), which only parseGLR() can follow
     //TODO: WHY DID I DO ENUMS? REPLACE WITH ARRAYS? EASIER TO INTEGRATE WITH TABLE GENERATORS
 
     //ACTION_TABLE: each value has a TOKEN (terminal) representing the column label
@@ -169,16 +207,32 @@ public class LRParser {
             new Rule(NONTERMINAL.FACT, new Object[]{LexAn.TOKEN.INT_LIT})
     };
 
+    //parseParallel() tuning:
+    //PARALLEL_THRESHOLD: parenthesized groups with more tokens than this get parsed by their own fork-join task,
+    //and longer ranges with top-level ADD_OPs are split into batches of TERMs of about this many tokens
+    static final int PARALLEL_THRESHOLD = 4096;
+    //LEX_CHUNK: in-memory input longer than this is split into ranges of about this many chars and lexed concurrently
+    static final int LEX_CHUNK = 1 << 16;
+
     //PDAStack: the main stack used by the LR algorithm
     Stack<Object> PDAStack;
+    //treeNodeStack: parse tree nodes waiting to be attached to a parent, see parse()
+    private final ArrayList<Object> treeNodeStack = new ArrayList<>();
     //lexical: the lexical analyzer used for analyzing terminals from the input
     private final LexAn lexical;
+    //debugPrint: print the stack at each step and a message on accept (defaults to Main.DEBUG_PRINT, see setDebugPrint())
+    private boolean debugPrint = Main.DEBUG_PRINT;
 
     //Default Constructor: creates lexical object with no input
     public LRParser(){
         lexical = new LexAn();
     }
 
+    //setDebugPrint(): turn this parser's printing on or off (ParserPool turns it off, a service doesn't want console output)
+    public void setDebugPrint(boolean debugPrint){
+        this.debugPrint = debugPrint;
+    }
+
     //loadFile(): loads a file from the root directory into the lexical analyzer
     public void loadFile(String fileName) throws FileNotFoundException {
         lexical.loadFile(fileName);
@@ -187,14 +241,49 @@ public class LRParser {
     public void loadString(String input){
         lexical.loadString(input);
     }
-    //initializeStack(): create a new Stack object and push the initial state of 0 onto it
+    //loadChars(): loads any CharSequence into the lexical analyzer, reusing its buffer (for parsers that get reused, see ParserPool)
+    public void loadChars(CharSequence input){
+        lexical.loadChars(input);
+    }
+    //loadChars(): loads the range [start, end) of a char array into the lexical analyzer, without copying it
+    public void loadChars(char[] input, int start, int end){
+        lexical.loadChars(input, start, end);
+    }
+    //unload(): drops the loaded input from the lexical analyzer (ParserPool does this before keeping a parser around)
+    public void unload(){
+        lexical.unload();
+    }
+    //initializeStack(): empty the Stack (creating it the first time) and push the initial state of 0 onto it
     public void initializeStack(){
-        PDAStack = new Stack<>();
+        if(PDAStack == null) PDAStack = new Stack<>();
+        else PDAStack.clear();
         PDAStack.push(0);
     }
 
     //parse(): perform the LR Parsing algorithm
     public TreeNode parse(){
+        return parse(false);
+    }
+    //parseGLR(): perform the LR Parsing algorithm, but allow conflicts in the ACTION_TABLE
+    //runs exactly like parse() until the first cell with more than one action, then continues with a graph-structured stack
+    //ambiguous input results in TreeNodes labeled with an Ambiguity, holding each derivation as a child
+    public TreeNode parseGLR(){
+        return parse(true);
+    }
+
+    //parse(glr): runs parseLoop(), then empties both stacks however it ended (accept, GLR, or error),
+    //so a reused parser doesn't hold on to the last parse's Lexemes and TreeNodes
+    private TreeNode parse(boolean glr){
+        try{
+            return parseLoop(glr);
+        } finally {
+            treeNodeStack.clear();
+            PDAStack.clear();
+        }
+    }
+
+    //parseLoop(): the deterministic LR loop shared by parse() and parseGLR()
+    private TreeNode parseLoop(boolean glr){
 
         //initialize the stack
         initializeStack();
@@ -208,7 +297,7 @@ public class LRParser {
         Rule reduceRule = null;             //reduceRule: the grammar rule to follow for the current Reduce operation
         Lexeme currentLexeme = null;         //currentLexeme: the lexeme object that will be pushed onto the stack/tree
 
-        ArrayList<Object> treeNodeStack = new ArrayList<>();    //treeNodeStack: used to store parse tree nodes while parsing
+        treeNodeStack.clear();  //treeNodeStack: used to store parse tree nodes while parsing
         //to construct a full parse tree, i use an ArrayList to store leaves/nodes temporarily
         //technically this is not used as a stack, since i access data outside of only popping
         //but for the most part, im only adding things or removing things from the end, just in different orders, so i called it a stack anyways
@@ -233,8 +322,14 @@ public class LRParser {
             //if the action is null, we landed on a blank space, meaning there is a syntax error!!!
             if(currentAction == null) throw new RuntimeException("\nSYNTAX ERROR AT LINE " + lexical.getLineNumber() + " COL " + (lexical.getColNumber()-1));
 
+            //if the action lists more than one option, the grammar has a conflict here: hand the stack over to the GLR loop
+            if(currentAction.indexOf('|') >= 0){
+                if(!glr) throw new RuntimeException("\nCONFLICT IN ACTION_TABLE AT LINE " + lexical.getLineNumber() + " COL " + (lexical.getColNumber()-1) + ": " + currentAction + " (use parseGLR())");
+                return continueGLR(treeNodeStack);
+            }
+
             //developer info, prints out the stack and the next step
-            if(Main.DEBUG_PRINT) {
+            if(debugPrint) {
                 System.out.println(PDAStack);
                 System.out.println("NEXT ACTION: " + currentAction);
             }
@@ -320,7 +415,7 @@ public class LRParser {
 
                 //finally, if the action starts with 'a', it must be "acc", or the Accept action, meaning the input is parsed!!! yay!!!!
                 case 'a':
-                    System.out.println("DONE!!!!!!!!!!");
+                    if(debugPrint) System.out.println("DONE!!!!!!!!!!");
                     break;
 
             }//end currentAction switch
@@ -329,7 +424,508 @@ public class LRParser {
 
         //and finally, return
         return (TreeNode) treeNodeStack.get(0);
-    }//end parse()
+    }//end parseLoop()
+
+    //continueGLR(): the GLR loop, picking up from the current PDAStack and treeNodeStack
+    //every action of a conflict cell is followed at once, stacks sharing a state are merged into one GSSNode,
+    //and stacks with no action left simply die off. the input is rejected only once every stack has died
+    private TreeNode continueGLR(ArrayList<Object> treeNodeStack){
+        //rebuild the PDAStack as a single-path GSS (states are every other element, starting at 0)
+        GSSNode top = new GSSNode((Integer)PDAStack.get(0));
+        for(int i = 0; i < treeNodeStack.size(); i++){
+            GSSNode next = new GSSNode((Integer)PDAStack.get(2*i + 2));
+            Object tree = treeNodeStack.get(i);
+            //finished subtrees become forest nodes too, in case a new derivation of the same span shows up
+            if(tree instanceof TreeNode t) tree = new PackedNode(t.data, t.children);
+            next.links.add(new GSSLink(top, tree));
+            top = next;
+        }
+
+        //frontier: every GSSNode at the current input position
+        ArrayList<GSSNode> frontier = new ArrayList<>();
+        frontier.add(top);
+
+        for(;;){
+            LexAn.TOKEN currentToken = lexical.getToken();
+            ACTION_TABLE tokenColumn = ACTION_TABLE.lookup(currentToken);
+            if(tokenColumn == null) throw new RuntimeException("\nTOKEN MISSING FROM ACTION_TABLE: " + currentToken.name());
+
+            //first do every reduction possible on this token, which may add nodes to the frontier
+            reduceAll(frontier, tokenColumn);
+
+            if(debugPrint) {
+                StringBuilder sb = new StringBuilder("GLR FRONTIER:");
+                for(GSSNode n : frontier) sb.append(" ").append(n.state);
+                System.out.println(sb);
+            }
+
+            //then shift the token on every stack that can, merging stacks that land in the same state
+            Lexeme currentLexeme = new Lexeme(currentToken, lexical.lexemeToString());
+            ArrayList<GSSNode> shifted = new ArrayList<>();
+            for(GSSNode node : frontier){
+                for(String action : actionsAt(tokenColumn, node.state)){
+                    if(action.charAt(0) == 'a'){
+                        if(debugPrint) System.out.println("DONE!!!!!!!!!!");
+                        //the accepting node sits right on top of state 0, its link holds the whole forest
+                        return (TreeNode) unpack(node.links.get(0).tree, new IdentityHashMap<>());
+                    }
+                    if(action.charAt(0) != 's') continue;
+                    int nextState = Integer.parseInt(action.substring(1));
+                    GSSNode target = findState(shifted, nextState);
+                    if(target == null){
+                        target = new GSSNode(nextState);
+                        shifted.add(target);
+                    }
+                    target.links.add(new GSSLink(node, currentLexeme));
+                }
+            }
+
+            //if no stack could shift, every stack has died: syntax error
+            if(shifted.isEmpty()) throw new RuntimeException("\nSYNTAX ERROR AT LINE " + lexical.getLineNumber() + " COL " + (lexical.getColNumber()-1));
+
+            frontier = shifted;
+            lexical.lex();
+        }
+    }
+
+    //reduceAll(): perform every reduction on the frontier for the given lookahead column
+    //when a reduction adds a new link to an existing frontier node, only paths through that new link get reduced again,
+    //and only for rules whose full reduction on that node already ran (a full one still waiting will walk the new link anyway)
+    //(this grammar has no empty rules, so a new link can never extend a path that starts at another frontier node)
+    private void reduceAll(ArrayList<GSSNode> frontier, ACTION_TABLE tokenColumn){
+        ArrayDeque<Reduction> pending = new ArrayDeque<>();
+        //unreduced: for each node, the rules of its full (first == null) Reductions still waiting in pending
+        IdentityHashMap<GSSNode, ArrayList<Rule>> unreduced = new IdentityHashMap<>();
+        for(GSSNode node : frontier) queueReductions(pending, unreduced, node, null, tokenColumn);
+
+        ArrayList<Object[]> paths = new ArrayList<>();
+        ArrayList<GSSNode> bases = new ArrayList<>();
+        while(!pending.isEmpty()){
+            Reduction red = pending.poll();
+            Object lhs = red.rule.LHS;
+            if(red.first == null) unreduced.get(red.node).remove(red.rule);
+
+            //collect every path first, since adding links below would change what gets walked
+            paths.clear();
+            bases.clear();
+            walkPaths(red.node, red.first, new Object[red.rule.RHS.length], red.rule.RHS.length - 1, paths, bases);
+
+            GOTO_TABLE gotoColumn = GOTO_TABLE.lookup((NONTERMINAL)lhs);
+            if(gotoColumn == null) throw new RuntimeException("\nNONTERMINAL MISSING FROM GOTO_TABLE: " + lhs);
+
+            for(int i = 0; i < paths.size(); i++){
+                GSSNode base = bases.get(i);
+                Integer nextState = gotoColumn.states[base.state];
+                if(nextState == null) continue;
+
+                GSSNode target = findState(frontier, nextState);
+                if(target == null){
+                    //brand new stack top: reduce along all of its paths
+                    target = new GSSNode(nextState);
+                    frontier.add(target);
+                    GSSLink link = new GSSLink(base, new PackedNode(lhs, paths.get(i)));
+                    target.links.add(link);
+                    queueReductions(pending, unreduced, target, null, tokenColumn);
+                    continue;
+                }
+
+                GSSLink link = target.linkTo(base);
+                if(link != null){
+                    //same nonterminal over the same span: a second derivation, pack it into the existing forest node
+                    ((PackedNode)link.tree).alternatives.add(paths.get(i));
+                }
+                else{
+                    //existing stack top, new way down: reduce along paths through the new link only
+                    link = new GSSLink(base, new PackedNode(lhs, paths.get(i)));
+                    target.links.add(link);
+                    queueReductions(pending, unreduced, target, link, tokenColumn);
+                }
+            }
+        }
+    }
+
+    //queueReductions(): add a Reduction for every reduce action of node's state in the given column
+    //a Reduction through a new link is skipped if the node's full Reduction for that rule hasn't run yet, since it would be a duplicate
+    private static void queueReductions(ArrayDeque<Reduction> pending, IdentityHashMap<GSSNode, ArrayList<Rule>> unreduced, GSSNode node, GSSLink first, ACTION_TABLE tokenColumn){
+        ArrayList<Rule> waiting = unreduced.computeIfAbsent(node, n -> new ArrayList<>());
+        for(String action : actionsAt(tokenColumn, node.state)){
+            if(action.charAt(0) != 'r') continue;
+            Rule rule = LANGUAGE_RULES[Integer.parseInt(action.substring(1))-1];
+            if(first == null) waiting.add(rule);
+            else if(waiting.contains(rule)) continue;
+            pending.add(new Reduction(node, first, rule));
+        }
+    }
+
+    //walkPaths(): find every path of children.length links down from node, filling children right to left
+    //each complete path adds a copy of children to paths, and the node it ends on to bases
+    private static void walkPaths(GSSNode node, GSSLink first, Object[] children, int index, ArrayList<Object[]> paths, ArrayList<GSSNode> bases){
+        if(index < 0){
+            paths.add(children.clone());
+            bases.add(node);
+            return;
+        }
+        if(first != null){
+            children[index] = first.tree;
+            walkPaths(first.below, null, children, index - 1, paths, bases);
+            return;
+        }
+        for(GSSLink link : node.links){
+            children[index] = link.tree;
+            walkPaths(link.below, null, children, index - 1, paths, bases);
+        }
+    }
+
+    //findState(): returns the GSSNode with the given state, or null if there isn't one
+    private static GSSNode findState(ArrayList<GSSNode> nodes, int state){
+        for(GSSNode n : nodes){
+            if(n.state == state) return n;
+        }
+        return null;
+    }
+
+    //actionsAt(): every action in a table cell (none for an empty cell)
+    private static String[] actionsAt(ACTION_TABLE tokenColumn, int state){
+        String cell = tokenColumn.actions[state];
+        if(cell == null) return new String[0];
+        return cell.split("\\|");
+    }
+
+    //unpack(): turn the parse forest back into TreeNodes, sharing subtrees that the forest shares
+    //a PackedNode with one derivation becomes a plain TreeNode, one with several becomes an Ambiguity node
+    private static Object unpack(Object tree, IdentityHashMap<PackedNode, TreeNode> done){
+        if(!(tree instanceof PackedNode packed)) return tree;
+        TreeNode result = done.get(packed);
+        if(result != null) return result;
+
+        if(packed.alternatives.size() == 1){
+            result = new TreeNode(packed.data, unpackChildren(packed.alternatives.get(0), done));
+        }
+        else{
+            Object[] derivations = new Object[packed.alternatives.size()];
+            for(int i = 0; i < derivations.length; i++){
+                derivations[i] = new TreeNode(packed.data, unpackChildren(packed.alternatives.get(i), done));
+            }
+            result = new TreeNode(new Ambiguity(packed.data), derivations);
+        }
+        done.put(packed, result);
+        return result;
+    }
+    private static Object[] unpackChildren(Object[] children, IdentityHashMap<PackedNode, TreeNode> done){
+        Object[] out = new Object[children.length];
+        for(int i = 0; i < children.length; i++) out[i] = unpack(children[i], done);
+        return out;
+    }
+
+    //parseParallel(): perform the LR Parsing algorithm, splitting the work across the common fork-join pool
+    //the input is lexed in parallel chunks. then long ranges are split at their top-level ADD_OPs, with batches of TERMs
+    //parsed side by side and joined back up with the EXPR -> EXPR + TERM reductions, and every large parenthesized group
+    //is parsed by its own task, its EXPR tree stitched back into the enclosing parse. this gives the same tree as parse()
+    //syntax errors are reported by token index, since the chunked lexers don't know their line numbers
+    public TreeNode parseParallel(){
+        ArrayList<Lexeme> tokens = lexAll();
+
+        //match[i]: for a LEFT_PAREN, the index of its RIGHT_PAREN (-1 if unbalanced)
+        int[] match = new int[tokens.size()];
+        Arrays.fill(match, -1);
+        ArrayDeque<Integer> open = new ArrayDeque<>();
+        for(int i = 0; i < tokens.size(); i++){
+            LexAn.TOKEN t = tokens.get(i).token;
+            if(t == LexAn.TOKEN.LEFT_PAREN) open.push(i);
+            else if(t == LexAn.TOKEN.RIGHT_PAREN && !open.isEmpty()) match[open.pop()] = i;
+        }
+
+        TreeNode result;
+        try{
+            result = ForkJoinPool.commonPool().invoke(new SegmentTask(tokens, match, 0, tokens.size()));
+        } catch (RuntimeException e) {
+            //the pool rethrows errors from other threads wrapped in a copy of themselves: throw the original instead
+            RuntimeException original = e;
+            while(original.getCause() instanceof RuntimeException cause && cause.getClass() == original.getClass()) original = cause;
+            throw original;
+        }
+        if(debugPrint) System.out.println("DONE!!!!!!!!!!");
+        return result;
+    }
+
+    //lexAll(): lex the whole loaded input into a list of Lexemes (without the final EOF)
+    private ArrayList<Lexeme> lexAll(){
+        //file input can't be split up, so lex it right here
+        if(lexical.input == null){
+            ArrayList<Lexeme> tokens = new ArrayList<>();
+            while(lexical.lex() != LexAn.TOKEN.EOF) tokens.add(new Lexeme(lexical.getToken(), lexical.lexemeToString()));
+            return tokens;
+        }
+
+        char[] input = lexical.input;
+        int start = lexical.inputStart;
+        int end = lexical.inputEnd;
+        for(int i = start; i < end; i++){
+            //'$' ends the input for LexAn, so nothing after it gets lexed
+            if(input[i] == '$'){
+                end = i;
+                break;
+            }
+            //string literals can hold whitespace, so chunks can't be resynchronized safely: lex in one go
+            if(input[i] == '"') return lexRange(input, start, end);
+        }
+        if(end - start <= LEX_CHUNK) return lexRange(input, start, end);
+
+        //cut the input into ranges, moving each cut forward to the next whitespace or single-char operator,
+        //so no token gets split (and input without spaces, like "a+b*c+...", still gets cut)
+        ArrayList<Callable<ArrayList<Lexeme>>> chunks = new ArrayList<>();
+        for(int from = start; from < end;){
+            int to = Math.min(from + LEX_CHUNK, end);
+            while(to < end && !Character.isWhitespace(input[to]) && "=+-*/(),;".indexOf(input[to]) < 0) to++;
+            int chunkStart = from, chunkEnd = to;
+            chunks.add(() -> lexRange(input, chunkStart, chunkEnd));
+            from = to;
+        }
+
+        ArrayList<Lexeme> tokens = new ArrayList<>();
+        try{
+            for(Future<ArrayList<Lexeme>> chunk : ForkJoinPool.commonPool().invokeAll(chunks)){
+                tokens.addAll(chunk.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException r) throw r;
+            throw new RuntimeException(e.getCause());
+        }
+        return tokens;
+    }
+
+    //lexRange(): lex the range [start, end) of input with its own LexAn
+    private static ArrayList<Lexeme> lexRange(char[] input, int start, int end){
+        LexAn lex = new LexAn();
+        lex.loadChars(input, start, end);
+        ArrayList<Lexeme> tokens = new ArrayList<>();
+        while(lex.lex() != LexAn.TOKEN.EOF) tokens.add(new Lexeme(lex.getToken(), lex.lexemeToString()));
+        return tokens;
+    }
+
+    //SegmentTask: parses tokens [from, to) as one EXPR
+    //a long range with top-level ADD_OPs is split into runs of TERMs, parsed in batches by TermsTasks,
+    //otherwise the range is parsed by parseRange()
+    private static final class SegmentTask extends RecursiveTask<TreeNode> {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<Lexeme> tokens;
+        private final int[] match;
+        private final int from;
+        private final int to;
+
+        SegmentTask(ArrayList<Lexeme> tokens, int[] match, int from, int to){
+            this.tokens = tokens;
+            this.match = match;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TreeNode compute(){
+            //peel off parentheses wrapping the whole range in a loop, rather than forking a task per level that would
+            //only wait on its child (deep nesting like "((((a))))" would otherwise overflow the call stack)
+            int lo = from, hi = to;
+            while(hi - lo >= 2 && tokens.get(lo).token == LexAn.TOKEN.LEFT_PAREN && match[lo] == hi - 1){
+                lo++;
+                hi--;
+            }
+
+            TreeNode expr;
+            ArrayList<Integer> adds = hi - lo > PARALLEL_THRESHOLD ? topLevelAdds(tokens, match, lo, hi) : null;
+            if(adds != null && !adds.isEmpty()) expr = parseTermRuns(adds, lo, hi);
+            else expr = parseRange(tokens, match, lo, hi);
+
+            //then wrap the result back up, innermost first, the way the sequential parser reduces "( EXPR )":
+            //FACT -> ( EXPR ), TERM -> FACT, EXPR -> TERM
+            for(int k = lo - from - 1; k >= 0; k--){
+                TreeNode fact = new TreeNode(NONTERMINAL.FACT, new Object[]{tokens.get(from + k), expr, tokens.get(to - 1 - k)});
+                expr = new TreeNode(NONTERMINAL.EXPR, new Object[]{new TreeNode(NONTERMINAL.TERM, new Object[]{fact})});
+            }
+            return expr;
+        }
+
+        //parseTermRuns(): parse the runs between the top-level ADD_OPs in [from, to) as TERMs, in batches of about PARALLEL_THRESHOLD tokens,
+        //then join them left to right with EXPR -> EXPR + TERM, exactly as the sequential parser would reduce them
+        private TreeNode parseTermRuns(ArrayList<Integer> adds, int from, int to){
+            int runs = adds.size() + 1;
+            int[] runStart = new int[runs];
+            int[] runEnd = new int[runs];
+            for(int r = 0; r < runs; r++){
+                runStart[r] = r == 0 ? from : adds.get(r - 1) + 1;
+                runEnd[r] = r == runs - 1 ? to : adds.get(r);
+            }
+
+            ArrayList<TermsTask> batches = new ArrayList<>();
+            for(int first = 0; first < runs;){
+                int last = first;
+                while(last + 1 < runs && runEnd[last] - runStart[first] < PARALLEL_THRESHOLD) last++;
+                TermsTask batch = new TermsTask(tokens, match, runStart, runEnd, first, last + 1);
+                batch.fork();
+                batches.add(batch);
+                first = last + 1;
+            }
+
+            Object expr = null;
+            int r = 0;
+            for(TermsTask batch : batches){
+                for(Object term : batch.join()){
+                    if(r == 0) expr = new TreeNode(NONTERMINAL.EXPR, new Object[]{term});
+                    else expr = new TreeNode(NONTERMINAL.EXPR, new Object[]{expr, tokens.get(adds.get(r - 1)), term});
+                    r++;
+                }
+            }
+            return (TreeNode) expr;
+        }
+    }
+
+    //TermsTask: parses the runs [first, last) of a SegmentTask's top-level TERM runs, returning one TERM tree per run
+    private static final class TermsTask extends RecursiveTask<Object[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<Lexeme> tokens;
+        private final int[] match;
+        private final int[] runStart;
+        private final int[] runEnd;
+        private final int first;
+        private final int last;
+
+        TermsTask(ArrayList<Lexeme> tokens, int[] match, int[] runStart, int[] runEnd, int first, int last){
+            this.tokens = tokens;
+            this.match = match;
+            this.runStart = runStart;
+            this.runEnd = runEnd;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected Object[] compute(){
+            Object[] terms = new Object[last - first];
+            for(int r = first; r < last; r++){
+                //a run has no top-level ADD_OP, so it parses as EXPR -> TERM: keep just the TERM
+                terms[r - first] = parseRange(tokens, match, runStart[r], runEnd[r]).children[0];
+            }
+            return terms;
+        }
+    }
+
+    //topLevelAdds(): the indices of the ADD_OPs in [from, to) outside of any parentheses,
+    //or null if the parentheses in the range are unbalanced (the plain parse will report the error)
+    private static ArrayList<Integer> topLevelAdds(ArrayList<Lexeme> tokens, int[] match, int from, int to){
+        ArrayList<Integer> adds = new ArrayList<>();
+        for(int i = from; i < to; i++){
+            LexAn.TOKEN t = tokens.get(i).token;
+            if(t == LexAn.TOKEN.LEFT_PAREN){
+                if(match[i] < 0 || match[i] >= to) return null;
+                i = match[i];
+            }
+            else if(t == LexAn.TOKEN.RIGHT_PAREN) return null;
+            else if(t == LexAn.TOKEN.ADD_OP) adds.add(i);
+        }
+        return adds;
+    }
+
+    //parseRange(): parses tokens [from, to) as one EXPR
+    //large parenthesized groups inside the range are forked off as their own SegmentTasks,
+    //and their results take the place of the group's tokens when this range is parsed.
+    //a group covering more than half the range is not forked (this task would just wait on it), it is parsed right here,
+    //which keeps the depth of nested forks to about log2 of the input's token count
+    private static TreeNode parseRange(ArrayList<Lexeme> tokens, int[] match, int from, int to){
+        ArrayList<Object> items = new ArrayList<>();     //items: Lexemes, or TreeNodes for the forked groups
+        ArrayList<Integer> positions = new ArrayList<>(); //positions: token index of each item, for error messages
+        ArrayList<SegmentTask> forks = new ArrayList<>();
+        ArrayList<Integer> slots = new ArrayList<>();
+
+        for(int i = from; i < to; i++){
+            items.add(tokens.get(i));
+            positions.add(i);
+            if(tokens.get(i).token == LexAn.TOKEN.LEFT_PAREN && match[i] - i > PARALLEL_THRESHOLD && 2*(match[i] - i) <= to - from){
+                //fork the inside of the group, and leave a slot for its tree (the RIGHT_PAREN is added next iteration)
+                SegmentTask group = new SegmentTask(tokens, match, i + 1, match[i]);
+                group.fork();
+                forks.add(group);
+                slots.add(items.size());
+                items.add(null);
+                positions.add(i + 1);
+                i = match[i] - 1;
+            }
+        }
+        for(int i = 0; i < forks.size(); i++){
+            items.set(slots.get(i), forks.get(i).join());
+        }
+
+        items.add(new Lexeme(LexAn.TOKEN.EOF, "EOF"));
+        positions.add(to);
+        return parseItems(items, positions);
+    }
+
+    //parseItems(): the LR Parsing algorithm over a list of items instead of the lexical analyzer
+    //a TreeNode item is a group parsed by another task. it always follows a LEFT_PAREN, where the parser expects an EXPR,
+    //so it is pushed with a GOTO step just like the result of a Reduce. uses only local stacks, so tasks can run side by side
+    private static TreeNode parseItems(ArrayList<Object> items, ArrayList<Integer> positions){
+        Stack<Object> stack = new Stack<>();
+        ArrayList<Object> trees = new ArrayList<>();
+        stack.push(0);
+
+        int i = 0;
+        for(;;){
+            Object item = items.get(i);
+            int state = (Integer)stack.peek();
+
+            if(item instanceof TreeNode group){
+                GOTO_TABLE gotoColumn = GOTO_TABLE.lookup((NONTERMINAL)group.data);
+                Integer nextState = gotoColumn == null ? null : gotoColumn.states[state];
+                if(nextState == null) throw new RuntimeException("\nSYNTAX ERROR AT TOKEN " + positions.get(i));
+                stack.push(group.data);
+                stack.push(nextState);
+                trees.add(group);
+                i++;
+                continue;
+            }
+
+            Lexeme currentLexeme = (Lexeme)item;
+            ACTION_TABLE tokenColumn = ACTION_TABLE.lookup(currentLexeme.token);
+            if(tokenColumn == null) throw new RuntimeException("\nTOKEN MISSING FROM ACTION_TABLE: " + currentLexeme.token.name());
+
+            String currentAction = tokenColumn.actions[state];
+            if(currentAction == null) throw new RuntimeException("\nSYNTAX ERROR AT TOKEN " + positions.get(i));
+            if(currentAction.indexOf('|') >= 0) throw new RuntimeException("\nCONFLICT IN ACTION_TABLE AT TOKEN " + positions.get(i) + ": " + currentAction + " (use parseGLR())");
+
+            switch(currentAction.charAt(0)){
+                case 's':
+                    stack.push(currentLexeme);
+                    stack.push(Integer.parseInt(currentAction.substring(1)));
+                    trees.add(currentLexeme);
+                    i++;
+                    break;
+
+                case 'r':
+                    Rule reduceRule = LANGUAGE_RULES[Integer.parseInt(currentAction.substring(1))-1];
+                    int n = reduceRule.RHS.length;
+                    stack.setSize(stack.size() - 2*n);
+                    int exposedState = (Integer)stack.peek();
+
+                    GOTO_TABLE gotoColumn = GOTO_TABLE.lookup((NONTERMINAL)reduceRule.LHS);
+                    if(gotoColumn == null) throw new RuntimeException("\nNONTERMINAL MISSING FROM GOTO_TABLE: " + reduceRule.LHS);
+                    stack.push(reduceRule.LHS);
+                    stack.push(gotoColumn.states[exposedState]);
+
+                    //same as parse(): the last n trees become the children of the new node
+                    List<Object> handle = trees.subList(trees.size() - n, trees.size());
+                    TreeNode node = new TreeNode(reduceRule.LHS, handle.toArray());
+                    handle.clear();
+                    trees.add(node);
+                    break;
+
+                case 'a':
+                    return (TreeNode) trees.get(0);
+            }
+        }
+    }
 
     //getRules(): returns a string containing all the grammar rules of the language
     public String getRules(){
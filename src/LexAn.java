@@ -64,6 +64,16 @@ public class LexAn {
 
     //file input
     BufferedReader reader;
+    //in-memory input: when set, characters are read straight from this array instead of the reader,
+    //which lets getNonBlank() and the LETTER/DIGIT loops scan whole runs at once
+    char[] input;
+    int inputStart;
+    int inputPos;
+    int inputEnd;
+    //buffer: owned by this LexAn and reused by every loadChars(CharSequence), grown only when an input doesn't fit
+    private char[] buffer;
+    //MAX_KEPT_BUFFER: unload() lets go of a buffer bigger than this many chars, so one huge input doesn't pin it for good
+    static final int MAX_KEPT_BUFFER = 1 << 16;
 
     //default constructor: initialize array
     public LexAn(){
@@ -91,22 +101,54 @@ public class LexAn {
 
         //get file
         reader = new BufferedReader(new FileReader(fileName));
+        input = null;
+        lineNumber = 1;
+        colNumber = 0;
 
         //get first char
         getChar();
     }
     //loadString(): for loading an input string into memory
     public void loadString(String input){
+        loadChars(input);
+    }
+    //loadChars(): for loading any CharSequence into memory, copied into this LexAn's reusable buffer
+    public void loadChars(CharSequence input){
+        int length = input.length();
+        if(buffer == null || buffer.length < length) buffer = new char[Math.max(length, 100)];
+        if(input instanceof String str) str.getChars(0, length, buffer, 0);
+        else for(int i = 0; i < length; i++) buffer[i] = input.charAt(i);
+        loadChars(buffer, 0, length);
+    }
+    //loadChars(): for loading the range [start, end) of a char array into memory (the array is not copied)
+    public void loadChars(char[] input, int start, int end){
         //start over
         clearLexeme();
 
-        //get input
-        reader = new BufferedReader(new StringReader(input));
+        //get input (kept in memory, no reader needed)
+        reader = null;
+        this.input = input;
+        inputStart = start;
+        inputPos = start;
+        inputEnd = end;
+        lineNumber = 1;
+        colNumber = 0;
 
         getChar();
     }
 
 
+    //unload(): forget the in-memory input (so a caller's char array isn't kept around), dropping buffer/lexeme if they grew too big
+    public void unload(){
+        input = null;
+        inputStart = 0;
+        inputPos = 0;
+        inputEnd = 0;
+        if(buffer != null && buffer.length > MAX_KEPT_BUFFER) buffer = null;
+        if(lexeme.capacity() > MAX_KEPT_BUFFER) lexeme = new StringBuilder(100);
+    }
+
+
     //lex(): fetch next lexeme, store it in lexeme[] and return its token.
     public TOKEN lex(){
         //if at end of file, fail
@@ -125,7 +167,8 @@ public class LexAn {
             //if a letter, assume identifier
             case LETTER:
                 //add/get characters so long as they are letters or digits
-                do{
+                if(input != null) addRun(true);
+                else do{
                     addChar();
                     getChar();
                 }while(charClass == CHAR_CLASS.LETTER || charClass == CHAR_CLASS.DIGIT);
@@ -139,7 +182,8 @@ public class LexAn {
             //if a digit, assume an integer
             case DIGIT:
                 //add/get characters so long as they are digits (or a decimal separator)
-                do{
+                if(input != null) addRun(false);
+                else do{
                     addChar();
                     getChar();
                 }while(charClass == CHAR_CLASS.DIGIT || charClass == CHAR_CLASS.DECIMAL_SEPARATOR);
@@ -199,7 +243,10 @@ public class LexAn {
 
     //getChar(): fetch next character in file. place char into nextChar, place character class into charClass
     private void getChar(){
-        try{
+        if(input != null){
+            nextChar = inputPos < inputEnd ? input[inputPos++] : (char)-1;
+        }
+        else try{
             nextChar = (char) reader.read();
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -239,10 +286,46 @@ public class LexAn {
     //getNonBlank(): call getChar() until it fetches a non-whitespace character
     //includes the CURRENT character, so if used for a check, make sure to getChar() at the end of it!!!
     private void getNonBlank(){
+        if(input != null && Character.isWhitespace(nextChar)){
+            skipBlankRun();
+            return;
+        }
         while(Character.isWhitespace(nextChar)){
             getChar();
         }
     }
+    //skipBlankRun(): in-memory version of getNonBlank(). walks the array directly, only keeping line/col up to date,
+    //then getChar()s the first non-whitespace character so charClass is set as usual
+    private void skipBlankRun(){
+        int end = inputPos;
+        while(end < inputEnd && Character.isWhitespace(input[end])){
+            if(input[end] == '\n'){
+                lineNumber++;
+                colNumber = 0;
+            }
+            else colNumber++;
+            end++;
+        }
+        inputPos = end;
+        getChar();
+    }
+    //addRun(): in-memory version of the LETTER/DIGIT loops in lex(). finds the end of the run starting at nextChar,
+    //appends the whole span to lexeme in one go, then getChar()s the character that ended it
+    //identifier == true: run of letters/digits, otherwise: run of digits/decimal separators
+    private void addRun(boolean identifier){
+        int start = inputPos - 1;
+        int end = inputPos;
+        if(identifier){
+            while(end < inputEnd && Character.isLetterOrDigit(input[end])) end++;
+        }
+        else{
+            while(end < inputEnd && (Character.isDigit(input[end]) || input[end] == '.')) end++;
+        }
+        lexeme.append(input, start, end - start);
+        colNumber += end - inputPos;
+        inputPos = end;
+        getChar();
+    }
 
     //lookupOp(): check char for special characters (operators, etc) and return it TODO: LOOKUP TABLE INSTEAD OF SWITCH?
     private TOKEN lookupOp(char ch){
@@ -309,6 +392,6 @@ public class LexAn {
 
     //isFinished(): returns true if at end of file, false otherwise
     public boolean isFinished(){
-        return token == TOKEN.EOF || reader == null;
+        return token == TOKEN.EOF || (reader == null && input == null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+public class LoadTest {
+
+    /*
+     * LoadTest.java:  load test for ParserPool, run on its own (java LoadTest [threads] [parsesPerThread])
+     *                 compares a new LRParser per request against pooled parsers, printing the bytes
+     *                 allocated per parse and the p50/p99 latency of each
+     */
+
+    //INPUTS: the small expressions every thread parses, in turn
+    static final String[] INPUTS = {
+            "a + b * c",
+            "(x1 + 42) * (y + z)",
+            "n * n + 5 * (7 + k)"
+    };
+
+    //Mode: how each request gets its parser
+    enum Mode{
+        NEW_PARSER,
+        POOLED
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int parses = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+
+        System.out.println(threads + " threads, " + parses + " parses each");
+
+        //first round of each mode is warmup, second round is the one that counts
+        for(int round = 0; round < 2; round++){
+            for(Mode mode : Mode.values()){
+                String result = run(mode, threads, parses);
+                if(round == 1) System.out.println(result);
+            }
+        }
+    }
+
+    //run(): parse with every thread at once, returning a line with allocation and latency figures
+    static String run(Mode mode, int threads, int parses) throws InterruptedException {
+        ParserPool pool = new ParserPool(threads);
+        long[][] latencies = new long[threads][parses];
+        long[] allocated = new long[threads];
+        Thread[] workers = new Thread[threads];
+
+        for(int t = 0; t < threads; t++){
+            int id = t;
+            workers[t] = new Thread(() -> {
+                long before = allocatedBytes();
+                for(int i = 0; i < parses; i++){
+                    String input = INPUTS[i % INPUTS.length];
+                    long start = System.nanoTime();
+                    if(mode == Mode.POOLED){
+                        pool.parse(input);
+                    }
+                    else{
+                        //printing off here too, so both modes do the same work
+                        LRParser parser = new LRParser();
+                        parser.setDebugPrint(false);
+                        parser.loadString(input);
+                        parser.parse();
+                    }
+                    latencies[id][i] = System.nanoTime() - start;
+                }
+                allocated[id] = allocatedBytes() - before;
+            });
+            workers[t].start();
+        }
+        for(Thread w : workers) w.join();
+
+        long[] all = new long[threads * parses];
+        for(int t = 0; t < threads; t++) System.arraycopy(latencies[t], 0, all, t * parses, parses);
+        Arrays.sort(all);
+
+        long totalAllocated = Arrays.stream(allocated).sum();
+        String bytes = totalAllocated < 0 ? "n/a" : String.valueOf(totalAllocated / ((long)threads * parses));
+        return mode + ": " + bytes + " B/parse, p50 " + all[all.length / 2] + " ns, p99 " + all[(int)(all.length * 0.99)] + " ns";
+    }
+
+    //allocatedBytes(): bytes allocated so far by the current thread, or -1 if the JVM can't tell
+    static long allocatedBytes(){
+        if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean mx && mx.isThreadAllocatedMemorySupported()){
+            return mx.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
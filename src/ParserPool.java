@@ -0,0 +1,59 @@
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class ParserPool {
+
+    /*
+     * ParserPool.java: a fixed-size pool of LRParsers, for services parsing lots of small inputs
+     *                  each LRParser keeps its LexAn, buffers and stacks between parses, so a reused one
+     *                  doesn't allocate any of them again
+     */
+
+    //slots: idle parsers, null where a slot is empty (a parser is in use, or was never created)
+    private final AtomicReferenceArray<LRParser> slots;
+
+    //constructor: creates a pool holding up to capacity idle parsers
+    public ParserPool(int capacity){
+        slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    //acquire(): take an idle parser out of the pool, or create a new one (with printing off) if there are none
+    public LRParser acquire(){
+        for(int i = 0; i < slots.length(); i++){
+            LRParser parser = slots.getAndSet(i, null);
+            if(parser != null) return parser;
+        }
+        LRParser parser = new LRParser();
+        parser.setDebugPrint(false);
+        return parser;
+    }
+
+    //release(): return a parser to the pool. if every slot is full, it is simply dropped
+    //its input is unloaded first, so an idle parser holds neither request data nor an oversized buffer
+    public void release(LRParser parser){
+        parser.unload();
+        for(int i = 0; i < slots.length(); i++){
+            if(slots.get(i) == null && slots.compareAndSet(i, null, parser)) return;
+        }
+    }
+
+    //parse(): parse an input with a pooled parser, returning the parser to the pool afterwards
+    public LRParser.TreeNode parse(CharSequence input){
+        LRParser parser = acquire();
+        try{
+            parser.loadChars(input);
+            return parser.parse();
+        } finally {
+            release(parser);
+        }
+    }
+    //parse(): parse the range [start, end) of a char array with a pooled parser, without copying it
+    public LRParser.TreeNode parse(char[] input, int start, int end){
+        LRParser parser = acquire();
+        try{
+            parser.loadChars(input, start, end);
+            return parser.parse();
+        } finally {
+            release(parser);
+        }
+    }
+}